@@ -2,9 +2,14 @@ package com.example.springboot.auth;
 
 import com.example.springboot.auth.dto.LoginRequest;
 import com.example.springboot.auth.dto.RegisterRequest;
+import com.example.springboot.concurrent.SingleFlight;
 import com.example.springboot.user.User;
 import com.example.springboot.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -15,11 +20,18 @@ public class AuthService {
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtService jwtService;
-
-  public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+  private final SingleFlight<String, TokenPair> refreshFlights;
+
+  public AuthService(
+      UserRepository userRepository,
+      PasswordEncoder passwordEncoder,
+      JwtService jwtService,
+      MeterRegistry meterRegistry,
+      @Value("${app.jwt.refresh-grace:10s}") Duration refreshGrace) {
     this.userRepository = userRepository;
     this.passwordEncoder = passwordEncoder;
     this.jwtService = jwtService;
+    this.refreshFlights = new SingleFlight<>("auth.refresh", refreshGrace, meterRegistry);
   }
 
   public TokenPair register(RegisterRequest request) {
@@ -60,14 +72,20 @@ public class AuthService {
   }
 
   public TokenPair refresh(String oldRefreshToken) {
+    return refreshFlights.execute(oldRefreshToken, () -> rotate(oldRefreshToken));
+  }
+
+  private TokenPair rotate(String oldRefreshToken) {
     String userId;
+    UUID id;
     try {
       userId = jwtService.validateRefreshTokenAndGetUserId(oldRefreshToken);
+      id = UUID.fromString(userId);
     } catch (Exception ex) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
     }
 
-    User user = userRepository.findById(userId)
+    User user = userRepository.findById(id)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
     if (!user.getRefreshTokens().contains(oldRefreshToken)) {
@@ -85,7 +103,9 @@ public class AuthService {
   }
 
   public void logout(String userId, String refreshToken) {
-    userRepository.findById(userId).ifPresent(user -> {
+    refreshFlights.forget(refreshToken);
+    refreshFlights.forgetIf(pair -> pair.refreshToken().equals(refreshToken));
+    userRepository.findById(UUID.fromString(userId)).ifPresent(user -> {
       user.getRefreshTokens().remove(refreshToken);
       userRepository.save(user);
     });
@@ -0,0 +1,110 @@
+package com.example.springboot.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into one execution whose result every caller
+ * shares. With a non-zero {@code retain} window a successful result is also handed to callers
+ * arriving shortly after it completed; failures are never retained.
+ */
+public class SingleFlight<K, V> {
+  private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+  private final long retainNanos;
+  private final Counter calls;
+  private final Counter coalesced;
+  private volatile long nextSweep;
+
+  public SingleFlight(String name, Duration retain, MeterRegistry registry) {
+    this.retainNanos = retain.toNanos();
+    this.calls = Counter.builder("app.singleflight.calls").tag("operation", name).register(registry);
+    this.coalesced = Counter.builder("app.singleflight.coalesced").tag("operation", name).register(registry);
+    this.nextSweep = System.nanoTime() + retainNanos;
+  }
+
+  public V execute(K key, Supplier<V> work) {
+    calls.increment();
+    long now = System.nanoTime();
+    sweep(now);
+
+    Flight<V> flight = new Flight<>();
+    while (true) {
+      Flight<V> existing = flights.putIfAbsent(key, flight);
+      if (existing == null) {
+        break;
+      }
+      if (!existing.isExpired(now)) {
+        coalesced.increment();
+        return await(existing.future);
+      }
+      if (flights.replace(key, existing, flight)) {
+        break;
+      }
+    }
+
+    try {
+      V value = work.get();
+      if (retainNanos > 0) {
+        flight.expiresAt = Math.max(System.nanoTime() + retainNanos, 1);
+      } else {
+        flights.remove(key, flight);
+      }
+      flight.future.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      flights.remove(key, flight);
+      flight.future.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  public void forget(K key) {
+    flights.remove(key);
+  }
+
+  public void forgetIf(Predicate<V> predicate) {
+    flights.values().removeIf(flight -> {
+      CompletableFuture<V> future = flight.future;
+      return future.isDone() && !future.isCompletedExceptionally() && predicate.test(future.join());
+    });
+  }
+
+  private void sweep(long now) {
+    if (retainNanos == 0 || now - nextSweep < 0) {
+      return;
+    }
+    nextSweep = now + retainNanos;
+    flights.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+  }
+
+  private static <V> V await(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private static final class Flight<V> {
+    private final CompletableFuture<V> future = new CompletableFuture<>();
+    private volatile long expiresAt;
+
+    boolean isExpired(long now) {
+      long expiry = expiresAt;
+      return expiry != 0 && now - expiry >= 0;
+    }
+  }
+}
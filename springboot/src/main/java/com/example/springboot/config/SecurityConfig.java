@@ -1,6 +1,9 @@
 package com.example.springboot.config;
 
+import com.example.springboot.limit.ConcurrencyLimitFilter;
 import com.example.springboot.security.JwtAuthenticationFilter;
+import com.example.springboot.sql.SqlStatisticsFilter;
+import jakarta.servlet.DispatcherType;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -22,19 +25,25 @@ public class SecurityConfig {
   private String frontendUrl;
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter)
-      throws Exception {
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity http,
+      JwtAuthenticationFilter jwtFilter,
+      ConcurrencyLimitFilter limitFilter,
+      SqlStatisticsFilter sqlStatisticsFilter) throws Exception {
     http
         .csrf(csrf -> csrf.disable())
         .cors(Customizer.withDefaults())
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh").permitAll()
             .requestMatchers("/api/auth/logout").authenticated()
             .requestMatchers("/api/items/**").authenticated()
             .anyRequest().permitAll()
         )
-        .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(limitFilter, JwtAuthenticationFilter.class)
+        .addFilterBefore(sqlStatisticsFilter, JwtAuthenticationFilter.class);
 
     return http.build();
   }
@@ -49,7 +58,7 @@ public class SecurityConfig {
     CorsConfiguration config = new CorsConfiguration();
     config.setAllowedOrigins(List.of(frontendUrl, "http://localhost:5173", "http://localhost:4200"));
     config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-    config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+    config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Last-Event-ID"));
     config.setAllowCredentials(true);
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,22 +1,26 @@
 package com.example.springboot.items;
 
+import com.example.springboot.persistence.Uuids;
 import com.example.springboot.user.User;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "items")
 public class Item {
   @Id
-  @Column(length = 36)
-  private String id;
+  @JdbcTypeCode(SqlTypes.BINARY)
+  @Column(columnDefinition = "BINARY(16)")
+  private UUID id;
 
   @Column(nullable = false)
   private String name;
 
   @ManyToOne(fetch = FetchType.LAZY)
-  @JoinColumn(name = "user_id", nullable = false)
+  @JoinColumn(name = "user_id", nullable = false, columnDefinition = "BINARY(16)")
   private User user;
 
   @Column(nullable = false)
@@ -27,7 +31,7 @@ public class Item {
 
   @PrePersist
   public void prePersist() {
-    this.id = this.id == null ? UUID.randomUUID().toString() : this.id;
+    this.id = this.id == null ? Uuids.v7() : this.id;
     this.createdAt = LocalDateTime.now();
     this.updatedAt = this.createdAt;
   }
@@ -38,7 +42,7 @@ public class Item {
   }
 
   public String getId() {
-    return id;
+    return id == null ? null : id.toString();
   }
 
   public String getName() {
@@ -0,0 +1,308 @@
+package com.example.springboot.items;
+
+import com.example.springboot.items.dto.ItemResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans item changes out to every open event stream of the same user.
+ *
+ * <p>Streams are async {@link SseEmitter}s, so an idle connection holds no request thread; all
+ * writes go through a small shared executor. Each user keeps a bounded replay buffer so clients
+ * can resume from {@code Last-Event-ID}, and each connection has a bounded send queue — a
+ * consumer that falls behind is disconnected and expected to reconnect and resume.
+ *
+ * <p>Writes are blocking, so a client that stops reading can pin a write thread inside
+ * {@code send}. Heartbeats run on their own scheduler and abort any send that has been in
+ * progress for longer than {@code send-timeout}, which frees the thread for other streams.
+ */
+@Component
+public class ItemChangeHub implements DisposableBean {
+  private static final Event HEARTBEAT = new Event(null, 0, null, null);
+  private static final Event RESET = new Event(null, 0, "reset", null);
+
+  private final String generation = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong epochs = new AtomicLong();
+  private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
+  private final ExecutorService executor;
+  private final ScheduledExecutorService scheduler;
+  private final int replaySize;
+  private final int bufferSize;
+  private final long timeoutMillis;
+  private final long retentionMillis;
+  private final long sendTimeoutMillis;
+
+  public ItemChangeHub(
+      @Value("${app.items.feed.replay-size:256}") int replaySize,
+      @Value("${app.items.feed.buffer-size:32}") int bufferSize,
+      @Value("${app.items.feed.heartbeat:15s}") Duration heartbeat,
+      @Value("${app.items.feed.timeout:30m}") Duration timeout,
+      @Value("${app.items.feed.retention:5m}") Duration retention,
+      @Value("${app.items.feed.send-timeout:10s}") Duration sendTimeout,
+      @Value("${app.items.feed.threads:2}") int threads) {
+    this.replaySize = replaySize;
+    this.bufferSize = bufferSize;
+    this.timeoutMillis = timeout.toMillis();
+    this.retentionMillis = retention.toMillis();
+    this.sendTimeoutMillis = sendTimeout.toMillis();
+    this.executor = Executors.newFixedThreadPool(threads, daemon("item-feed"));
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("item-feed-heartbeat"));
+    long period = heartbeat.toMillis();
+    this.scheduler.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  public SseEmitter subscribe(String userId, String lastEventId) {
+    SseEmitter emitter = createEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(emitter);
+
+    Channel channel = channels.compute(userId, (key, existing) -> {
+      Channel target = existing != null ? existing : new Channel();
+      target.register(subscriber, lastEventId);
+      return target;
+    });
+
+    emitter.onCompletion(() -> channel.unregister(subscriber));
+    emitter.onTimeout(() -> {
+      channel.unregister(subscriber);
+      emitter.complete();
+    });
+    emitter.onError(ex -> channel.unregister(subscriber));
+    return emitter;
+  }
+
+  public void publish(String userId, String type, ItemResponse item) {
+    Channel channel = channels.get(userId);
+    if (channel != null) {
+      channel.publish(type, item);
+    }
+  }
+
+  SseEmitter createEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    executor.shutdownNow();
+    channels.values().forEach(Channel::close);
+    channels.clear();
+  }
+
+  private void heartbeat() {
+    long now = System.currentTimeMillis();
+    for (String userId : channels.keySet()) {
+      channels.computeIfPresent(userId, (key, channel) -> {
+        if (channel.isIdle(now)) {
+          return null;
+        }
+        for (Subscriber subscriber : channel.subscribers) {
+          if (subscriber.isStalled(now)) {
+            subscriber.abort();
+            channel.unregister(subscriber);
+          } else {
+            subscriber.offer(HEARTBEAT);
+          }
+        }
+        return channel;
+      });
+    }
+  }
+
+  private static ThreadFactory daemon(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private record Event(String id, long sequence, String type, ItemResponse item) {}
+
+  private final class Channel {
+    private final Deque<Event> recent = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final String epoch = generation + "." + Long.toString(epochs.incrementAndGet(), 36);
+    private long sequence;
+    private volatile long lastActive = System.currentTimeMillis();
+
+    synchronized void register(Subscriber subscriber, String lastEventId) {
+      List<Event> replay = lastEventId == null ? List.of() : since(lastEventId);
+      subscriber.queue = new LinkedBlockingQueue<>(replay.size() + bufferSize);
+      replay.forEach(subscriber::offer);
+      subscribers.add(subscriber);
+    }
+
+    void unregister(Subscriber subscriber) {
+      subscriber.closed = true;
+      if (subscribers.remove(subscriber)) {
+        lastActive = System.currentTimeMillis();
+      }
+    }
+
+    synchronized void publish(String type, ItemResponse item) {
+      sequence++;
+      Event event = new Event(epoch + "-" + sequence, sequence, type, item);
+      recent.addLast(event);
+      if (recent.size() > replaySize) {
+        recent.removeFirst();
+      }
+      subscribers.forEach(s -> s.offer(event));
+    }
+
+    boolean isIdle(long now) {
+      return subscribers.isEmpty() && now - lastActive > retentionMillis;
+    }
+
+    void close() {
+      subscribers.forEach(Subscriber::close);
+    }
+
+    private List<Event> since(String lastEventId) {
+      int separator = lastEventId.lastIndexOf('-');
+      if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+        return List.of(RESET);
+      }
+
+      long seen;
+      try {
+        seen = Long.parseLong(lastEventId.substring(separator + 1));
+      } catch (NumberFormatException ex) {
+        return List.of(RESET);
+      }
+
+      long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+      if (seen > sequence || seen < oldest - 1) {
+        return List.of(RESET);
+      }
+      return recent.stream().filter(e -> e.sequence() > seen).toList();
+    }
+  }
+
+  private final class Subscriber {
+    private final SseEmitter emitter;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private BlockingQueue<Event> queue;
+    private volatile boolean closed;
+    private volatile boolean failed;
+    private volatile boolean timedOut;
+    private Thread writer;
+    private long sendStartedAt;
+
+    Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    void offer(Event event) {
+      if (closed) {
+        return;
+      }
+      if (!queue.offer(event)) {
+        // Completing waits for any send in progress, so leave it to the write executor.
+        closed = true;
+      }
+      schedule();
+    }
+
+    synchronized boolean isStalled(long now) {
+      return writer != null && now - sendStartedAt > sendTimeoutMillis;
+    }
+
+    synchronized void abort() {
+      timedOut = true;
+      closed = true;
+      if (writer != null) {
+        writer.interrupt();
+      }
+    }
+
+    void close() {
+      closed = true;
+      finish();
+    }
+
+    private void schedule() {
+      if (draining.compareAndSet(false, true)) {
+        executor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        Event event;
+        while (!closed && (event = queue.poll()) != null) {
+          startSend();
+          try {
+            emitter.send(toSse(event));
+          } finally {
+            endSend();
+          }
+        }
+      } catch (IOException | IllegalStateException ex) {
+        closed = true;
+        failed = true;
+      } finally {
+        draining.set(false);
+      }
+      if (closed) {
+        finish();
+      } else if (!queue.isEmpty()) {
+        schedule();
+      }
+    }
+
+    private void finish() {
+      if (!finished.compareAndSet(false, true)) {
+        return;
+      }
+      if (timedOut) {
+        emitter.completeWithError(new TimeoutException("Event stream send timed out"));
+      } else if (!failed) {
+        emitter.complete();
+      }
+    }
+
+    private synchronized void startSend() {
+      writer = Thread.currentThread();
+      sendStartedAt = System.currentTimeMillis();
+    }
+
+    private synchronized void endSend() {
+      writer = null;
+      Thread.interrupted();
+    }
+
+    private SseEmitter.SseEventBuilder toSse(Event event) {
+      if (event == HEARTBEAT) {
+        return SseEmitter.event().comment("heartbeat");
+      }
+      SseEmitter.SseEventBuilder sse = SseEmitter.event().name(event.type());
+      if (event.id() != null) {
+        sse.id(event.id());
+      }
+      return event.item() != null ? sse.data(event.item(), MediaType.APPLICATION_JSON) : sse.data("");
+    }
+  }
+}
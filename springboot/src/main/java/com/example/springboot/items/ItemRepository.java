@@ -1,8 +1,12 @@
 package com.example.springboot.items;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ItemRepository extends JpaRepository<Item, String> {
-  List<Item> findAllByUserIdOrderByCreatedAtDesc(String userId);
+public interface ItemRepository extends JpaRepository<Item, UUID> {
+  List<Item> findAllByUserIdOrderByCreatedAtDesc(UUID userId);
+
+  Optional<Item> findByIdAndUserId(UUID id, UUID userId);
 }
@@ -5,23 +5,28 @@ import com.example.springboot.items.dto.ItemResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemsController {
   private final ItemsService itemsService;
+  private final ItemChangeHub changeHub;
 
-  public ItemsController(ItemsService itemsService) {
+  public ItemsController(ItemsService itemsService, ItemChangeHub changeHub) {
     this.itemsService = itemsService;
+    this.changeHub = changeHub;
   }
 
   @GetMapping
@@ -30,6 +35,14 @@ public class ItemsController {
     return itemsService.findAll(userId);
   }
 
+  @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter events(
+      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+      Authentication authentication) {
+    String userId = (String) authentication.getPrincipal();
+    return changeHub.subscribe(userId, lastEventId);
+  }
+
   @PostMapping
   public ItemResponse create(@Valid @RequestBody CreateItemRequest request, Authentication authentication) {
     String userId = (String) authentication.getPrincipal();
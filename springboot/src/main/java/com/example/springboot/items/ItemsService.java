@@ -1,11 +1,14 @@
 package com.example.springboot.items;
 
+import com.example.springboot.concurrent.SingleFlight;
 import com.example.springboot.items.dto.CreateItemRequest;
 import com.example.springboot.items.dto.ItemResponse;
 import com.example.springboot.user.User;
 import com.example.springboot.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -14,14 +17,22 @@ import org.springframework.web.server.ResponseStatusException;
 public class ItemsService {
   private final ItemRepository itemRepository;
   private final UserRepository userRepository;
+  private final ItemChangeHub changeHub;
+  private final SingleFlight<String, List<ItemResponse>> findAllFlights;
 
-  public ItemsService(ItemRepository itemRepository, UserRepository userRepository) {
+  public ItemsService(
+      ItemRepository itemRepository,
+      UserRepository userRepository,
+      ItemChangeHub changeHub,
+      MeterRegistry meterRegistry) {
     this.itemRepository = itemRepository;
     this.userRepository = userRepository;
+    this.changeHub = changeHub;
+    this.findAllFlights = new SingleFlight<>("items.findAll", Duration.ZERO, meterRegistry);
   }
 
   public ItemResponse create(CreateItemRequest request, String userId) {
-    User user = userRepository.findById(userId)
+    User user = userRepository.findById(UUID.fromString(userId))
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
     Item item = new Item();
@@ -29,23 +40,32 @@ public class ItemsService {
     item.setUser(user);
 
     Item saved = itemRepository.save(item);
-    return new ItemResponse(saved.getId(), saved.getName());
+    ItemResponse response = new ItemResponse(saved.getId(), saved.getName());
+    findAllFlights.forget(userId);
+    changeHub.publish(userId, "created", response);
+    return response;
   }
 
   public List<ItemResponse> findAll(String userId) {
-    return itemRepository.findAllByUserIdOrderByCreatedAtDesc(userId).stream()
-        .map(i -> new ItemResponse(i.getId(), i.getName()))
-        .collect(Collectors.toList());
+    return findAllFlights.execute(userId, () ->
+        itemRepository.findAllByUserIdOrderByCreatedAtDesc(UUID.fromString(userId)).stream()
+            .map(i -> new ItemResponse(i.getId(), i.getName()))
+            .toList());
   }
 
   public void remove(String id, String userId) {
-    Item item = itemRepository.findById(id)
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found"));
-
-    if (!item.getUser().getId().equals(userId)) {
+    UUID itemId;
+    try {
+      itemId = UUID.fromString(id);
+    } catch (IllegalArgumentException ex) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found");
     }
 
+    Item item = itemRepository.findByIdAndUserId(itemId, UUID.fromString(userId))
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found"));
+
     itemRepository.delete(item);
+    findAllFlights.forget(userId);
+    changeHub.publish(userId, "deleted", new ItemResponse(item.getId(), item.getName()));
   }
 }
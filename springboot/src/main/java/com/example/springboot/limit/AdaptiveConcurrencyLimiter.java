@@ -0,0 +1,144 @@
+package com.example.springboot.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient concurrency limit driven by measured latency.
+ *
+ * <p>Each completed request feeds two exponential averages of latency: a short one tracking the
+ * current latency and a long one serving as the no-queueing baseline. While the short average
+ * stays within {@code tolerance} of the baseline the limit grows by {@code queueSize}; once
+ * requests start queueing downstream (e.g. on the JDBC pool) the gradient drops below one and the
+ * limit shrinks proportionally. Averaging keeps a single unusually fast response from becoming the
+ * baseline, which a raw minimum would do.
+ */
+public class AdaptiveConcurrencyLimiter {
+  private static final double SMOOTHING = 0.2;
+  private static final int SHORT_WINDOW = 10;
+  private static final int LONG_WINDOW = 600;
+  private static final int WARMUP = 10;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final int queueSize;
+  private final ExpAverage shortRtt = new ExpAverage(SHORT_WINDOW);
+  private final ExpAverage longRtt = new ExpAverage(LONG_WINDOW);
+
+  private volatile double limit;
+  private int queueing;
+
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, int queueSize) {
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.queueSize = queueSize;
+  }
+
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1, System.nanoTime());
+      }
+    }
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  synchronized void onSample(long rtt, int inFlightAtStart) {
+    double current = shortRtt.add(rtt);
+    double baseline = longRtt.value;
+    // The baseline only learns while nothing is queueing, or overload would slowly become the new
+    // normal. Queueing that outlasts a whole long window is taken as a real shift and learned too.
+    if (!longRtt.isWarm() || current <= tolerance * baseline) {
+      queueing = 0;
+      baseline = longRtt.add(rtt);
+    } else if (++queueing > LONG_WINDOW) {
+      baseline = longRtt.add(rtt);
+    }
+
+    // Latency has dropped far below the baseline, e.g. after a slow period: let the baseline
+    // follow it down faster than the long window alone would.
+    if (baseline / current > 2) {
+      baseline = longRtt.scale(0.95);
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / current));
+    double newLimit = limit * gradient + queueSize;
+    if (newLimit > limit && inFlightAtStart * 2 < limit) {
+      return;
+    }
+
+    newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+  }
+
+  /** Exponential moving average that starts as a plain mean over the first few samples. */
+  private static final class ExpAverage {
+    private final double factor;
+    private double value;
+    private int count;
+
+    ExpAverage(int window) {
+      this.factor = 2.0 / (window + 1);
+    }
+
+    double add(long sample) {
+      sample = Math.max(sample, 1);
+      if (count < WARMUP) {
+        count++;
+        value += (sample - value) / count;
+      } else {
+        value += (sample - value) * factor;
+      }
+      return value;
+    }
+
+    boolean isWarm() {
+      return count >= WARMUP;
+    }
+
+    double scale(double ratio) {
+      value *= ratio;
+      return value;
+    }
+  }
+
+  public final class Permit {
+    private final int inFlightAtStart;
+    private final long startNanos;
+    private boolean released;
+
+    private Permit(int inFlightAtStart, long startNanos) {
+      this.inFlightAtStart = inFlightAtStart;
+      this.startNanos = startNanos;
+    }
+
+    public void release() {
+      if (!released) {
+        released = true;
+        inFlight.decrementAndGet();
+        onSample(System.nanoTime() - startNanos, inFlightAtStart);
+      }
+    }
+
+    public void ignore() {
+      if (!released) {
+        released = true;
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+}
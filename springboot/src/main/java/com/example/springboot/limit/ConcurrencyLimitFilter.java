@@ -0,0 +1,96 @@
+package com.example.springboot.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+  private final Partition auth;
+  private final Partition items;
+
+  public ConcurrencyLimitFilter(
+      MeterRegistry registry,
+      @Value("${app.limits.initial-limit:20}") int initialLimit,
+      @Value("${app.limits.min-limit:4}") int minLimit,
+      @Value("${app.limits.max-limit:200}") int maxLimit,
+      @Value("${app.limits.tolerance:1.5}") double tolerance,
+      @Value("${app.limits.queue-size:4}") int queueSize) {
+    this.auth = partition("auth", registry,
+        new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, queueSize));
+    this.items = partition("items", registry,
+        new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, queueSize));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+
+    Partition partition = partitionFor(request.getRequestURI());
+    if (partition == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    AdaptiveConcurrencyLimiter.Permit permit = partition.limiter().tryAcquire();
+    if (permit == null) {
+      partition.rejected().increment();
+      response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+      response.getWriter().write("Server busy");
+      return;
+    }
+
+    boolean completed = false;
+    try {
+      filterChain.doFilter(request, response);
+      completed = true;
+    } finally {
+      // Only successful, synchronous responses measure the downstream path; rejections such as an
+      // expired-token 401 return in microseconds and would drag the latency baseline down.
+      if (completed && !request.isAsyncStarted() && response.getStatus() < 400) {
+        permit.release();
+      } else {
+        permit.ignore();
+      }
+    }
+  }
+
+  private Partition partitionFor(String uri) {
+    if (uri.startsWith("/api/auth/")) {
+      return auth;
+    }
+    if (uri.equals("/api/items") || uri.startsWith("/api/items/")) {
+      return items;
+    }
+    return null;
+  }
+
+  private static Partition partition(String name, MeterRegistry registry, AdaptiveConcurrencyLimiter limiter) {
+    Gauge.builder("app.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .tag("partition", name)
+        .register(registry);
+    Gauge.builder("app.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+        .tag("partition", name)
+        .register(registry);
+    Counter rejected = Counter.builder("app.concurrency.rejected")
+        .tag("partition", name)
+        .register(registry);
+    return new Partition(limiter, rejected);
+  }
+
+  private record Partition(AdaptiveConcurrencyLimiter limiter, Counter rejected) {}
+}
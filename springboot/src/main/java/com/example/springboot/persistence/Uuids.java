@@ -0,0 +1,43 @@
+package com.example.springboot.persistence;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUIDv7 (RFC 9562) id generation.
+ *
+ * <p>The 48-bit millisecond timestamp leads the value, so new rows stored as {@code BINARY(16)}
+ * append to the end of the InnoDB clustered index instead of landing on random pages. The 12-bit
+ * {@code rand_a} field is used as a counter within one millisecond, keeping ids from a single
+ * instance strictly ordered.
+ */
+public final class Uuids {
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final int MAX_COUNTER = 0xFFF;
+
+  private static long lastMillis;
+  private static int counter;
+
+  private Uuids() {}
+
+  public static UUID v7() {
+    long millis;
+    int sequence;
+    synchronized (Uuids.class) {
+      long now = System.currentTimeMillis();
+      if (now > lastMillis) {
+        lastMillis = now;
+        counter = RANDOM.nextInt(MAX_COUNTER / 2);
+      } else if (++counter > MAX_COUNTER) {
+        lastMillis++;
+        counter = 0;
+      }
+      millis = lastMillis;
+      sequence = counter;
+    }
+
+    long msb = (millis << 16) | 0x7000L | sequence;
+    long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+}
@@ -8,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.UUID;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -34,7 +35,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       String token = authHeader.substring(7);
       try {
         String userId = jwtService.validateAccessTokenAndGetUserId(token);
-        if (userRepository.existsById(userId)) {
+        if (userRepository.existsById(UUID.fromString(userId))) {
           var auth = new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList());
           SecurityContextHolder.getContext().setAuthentication(auth);
         }
@@ -0,0 +1,70 @@
+package com.example.springboot.sql;
+
+/**
+ * Statement count, rows and database time for the work done on the current thread, usually one
+ * HTTP request. Populated by {@link SqlStatisticsDataSourcePostProcessor}.
+ */
+public final class SqlStatistics {
+  private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+  private int statements;
+  private long rows;
+  private long nanos;
+
+  private SqlStatistics() {}
+
+  public static SqlStatistics begin() {
+    SqlStatistics statistics = new SqlStatistics();
+    CURRENT.set(statistics);
+    return statistics;
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  public static SqlStatistics capture(Runnable work) {
+    SqlStatistics statistics = begin();
+    try {
+      work.run();
+    } finally {
+      end();
+    }
+    return statistics;
+  }
+
+  static SqlStatistics current() {
+    return CURRENT.get();
+  }
+
+  void recordStatement(long elapsedNanos, long affectedRows) {
+    statements++;
+    nanos += elapsedNanos;
+    rows += affectedRows;
+  }
+
+  void recordRow() {
+    rows++;
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public double getMillis() {
+    return nanos / 1_000_000.0;
+  }
+
+  public String toServerTiming() {
+    return String.format("db;desc=\"%d queries, %d rows\";dur=%.1f", statements, rows, getMillis());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d statements, %d rows, %.1f ms", statements, rows, getMillis());
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.springboot.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the application {@link DataSource} so every statement executed on a thread with active
+ * {@link SqlStatistics} is counted and timed, and every row read or written is tallied.
+ */
+@Component
+public class SqlStatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+      return proxy(DataSource.class, dataSource);
+    }
+    return bean;
+  }
+
+  private static <T> T proxy(Class<T> type, T target) {
+    return type.cast(Proxy.newProxyInstance(
+        SqlStatisticsDataSourcePostProcessor.class.getClassLoader(),
+        new Class<?>[] {type},
+        new Interceptor(target)));
+  }
+
+  private record Interceptor(Object target) implements InvocationHandler {
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      SqlStatistics statistics = SqlStatistics.current();
+      String name = method.getName();
+      boolean execute = statistics != null && target instanceof Statement && name.startsWith("execute");
+
+      long start = System.nanoTime();
+      Object result;
+      try {
+        result = method.invoke(target, args);
+      } catch (InvocationTargetException ex) {
+        throw ex.getCause();
+      }
+
+      if (execute) {
+        statistics.recordStatement(System.nanoTime() - start, affectedRows(result));
+      }
+      if (statistics != null && target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)) {
+        statistics.recordRow();
+      }
+      return wrap(method.getReturnType(), result);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object wrap(Class<?> type, Object result) {
+      if (result == null || Proxy.isProxyClass(result.getClass())) {
+        return result;
+      }
+      if (type.isInterface()
+          && (Connection.class.isAssignableFrom(type)
+              || Statement.class.isAssignableFrom(type)
+              || ResultSet.class.isAssignableFrom(type))) {
+        return proxy((Class) type, result);
+      }
+      return result;
+    }
+
+    private static long affectedRows(Object result) {
+      if (result instanceof Integer count) {
+        return Math.max(count, 0);
+      }
+      if (result instanceof Long count) {
+        return Math.max(count, 0);
+      }
+      if (result instanceof int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+          total += Math.max(count, 0);
+        }
+        return total;
+      }
+      if (result instanceof long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+          total += Math.max(count, 0);
+        }
+        return total;
+      }
+      return 0;
+    }
+  }
+}
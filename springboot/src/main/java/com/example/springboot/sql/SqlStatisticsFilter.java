@@ -0,0 +1,70 @@
+package com.example.springboot.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+  private static final Logger log = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+  private static final String SERVER_TIMING = "Server-Timing";
+
+  private final int statementBudget;
+  private final boolean serverTiming;
+
+  public SqlStatisticsFilter(
+      @Value("${app.sql-stats.statement-budget:10}") int statementBudget,
+      @Value("${app.sql-stats.server-timing:false}") boolean serverTiming) {
+    this.statementBudget = statementBudget;
+    this.serverTiming = serverTiming;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+
+    SqlStatistics statistics = SqlStatistics.begin();
+    try {
+      filterChain.doFilter(request, serverTiming ? new ServerTimingResponse(response, statistics) : response);
+    } finally {
+      SqlStatistics.end();
+
+      if (statistics.getStatements() > statementBudget) {
+        log.warn("{} {} exceeded SQL budget of {} statements: {}",
+            request.getMethod(), request.getRequestURI(), statementBudget, statistics);
+      }
+      if (serverTiming && !response.isCommitted()) {
+        response.setHeader(SERVER_TIMING, statistics.toServerTiming());
+      }
+    }
+  }
+
+  /**
+   * Adds the header just before the response commits instead of buffering the body, so streamed
+   * and async responses pass straight through. A body that overflows the container buffer before
+   * it is flushed commits without the header.
+   */
+  private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+    private final SqlStatistics statistics;
+
+    ServerTimingResponse(HttpServletResponse response, SqlStatistics statistics) {
+      super(response);
+      this.statistics = statistics;
+    }
+
+    @Override
+    protected void onResponseCommitted() {
+      setHeader(SERVER_TIMING, statistics.toServerTiming());
+    }
+  }
+}
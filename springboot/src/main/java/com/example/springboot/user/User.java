@@ -1,17 +1,21 @@
 package com.example.springboot.user;
 
+import com.example.springboot.persistence.Uuids;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "users")
 public class User {
   @Id
-  @Column(length = 36)
-  private String id;
+  @JdbcTypeCode(SqlTypes.BINARY)
+  @Column(columnDefinition = "BINARY(16)")
+  private UUID id;
 
   @Column(unique = true, nullable = false)
   private String email;
@@ -20,7 +24,7 @@ public class User {
   private String password;
 
   @ElementCollection(fetch = FetchType.EAGER)
-  @CollectionTable(name = "user_refresh_tokens", joinColumns = @JoinColumn(name = "user_id"))
+  @CollectionTable(name = "user_refresh_tokens", joinColumns = @JoinColumn(name = "user_id", columnDefinition = "BINARY(16)"))
   @Column(name = "token", nullable = false, length = 512)
   private List<String> refreshTokens = new ArrayList<>();
 
@@ -32,7 +36,7 @@ public class User {
 
   @PrePersist
   public void prePersist() {
-    this.id = this.id == null ? UUID.randomUUID().toString() : this.id;
+    this.id = this.id == null ? Uuids.v7() : this.id;
     this.createdAt = LocalDateTime.now();
     this.updatedAt = this.createdAt;
   }
@@ -43,7 +47,7 @@ public class User {
   }
 
   public String getId() {
-    return id;
+    return id == null ? null : id.toString();
   }
 
   public String getEmail() {
@@ -1,8 +1,9 @@
 package com.example.springboot.user;
 
 import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByEmail(String email);
 }
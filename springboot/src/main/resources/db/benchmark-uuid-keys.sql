@@ -0,0 +1,133 @@
+-- Insert throughput and index size: UUIDv4 VARCHAR(36) keys vs UUIDv7 BINARY(16) keys (MySQL 8+).
+--
+-- Run against a scratch schema, never the application database:
+--
+--   mysql -u root -p -e "CREATE DATABASE IF NOT EXISTS uuid_bench"
+--   mysql -u root -p uuid_bench < benchmark-uuid-keys.sql
+--
+-- Both tables mirror `items`: a clustered primary key, a user_id foreign-key column with its
+-- secondary index, and a secondary index on created_at (every InnoDB secondary index entry also
+-- carries the primary key). Change @rows below for a bigger run; results are printed at the end.
+
+SET @rows = 200000;
+SET @batch = 1000;
+SET @users = 100;
+
+DROP TABLE IF EXISTS bench_items_v4;
+DROP TABLE IF EXISTS bench_items_v7;
+DROP PROCEDURE IF EXISTS bench_fill;
+DROP FUNCTION IF EXISTS bench_uuid_v4;
+DROP FUNCTION IF EXISTS bench_uuid_v7;
+
+CREATE TABLE bench_items_v4 (
+  id VARCHAR(36) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  user_id VARCHAR(36) NOT NULL,
+  PRIMARY KEY (id),
+  KEY idx_bench_v4_user (user_id),
+  KEY idx_bench_v4_created (created_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE bench_items_v7 (
+  id BINARY(16) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  user_id BINARY(16) NOT NULL,
+  PRIMARY KEY (id),
+  KEY idx_bench_v7_user (user_id),
+  KEY idx_bench_v7_created (created_at)
+) ENGINE=InnoDB;
+
+DELIMITER //
+
+CREATE FUNCTION bench_uuid_v4() RETURNS CHAR(36) NOT DETERMINISTIC NO SQL
+BEGIN
+  DECLARE h CHAR(32) DEFAULT LOWER(HEX(RANDOM_BYTES(16)));
+  SET h = CONCAT(
+      SUBSTR(h, 1, 12), '4', SUBSTR(h, 14, 3),
+      LOWER(HEX((CONV(SUBSTR(h, 17, 1), 16, 10) & 3) | 8)), SUBSTR(h, 18, 15));
+  RETURN CONCAT_WS('-', SUBSTR(h, 1, 8), SUBSTR(h, 9, 4), SUBSTR(h, 13, 4), SUBSTR(h, 17, 4), SUBSTR(h, 21, 12));
+END //
+
+CREATE FUNCTION bench_uuid_v7() RETURNS BINARY(16) NOT DETERMINISTIC NO SQL
+BEGIN
+  DECLARE h CHAR(32) DEFAULT LOWER(HEX(RANDOM_BYTES(16)));
+  DECLARE millis CHAR(12) DEFAULT LPAD(HEX(FLOOR(UNIX_TIMESTAMP(NOW(6)) * 1000)), 12, '0');
+  RETURN UNHEX(CONCAT(
+      millis, '7', SUBSTR(h, 14, 3),
+      HEX((CONV(SUBSTR(h, 17, 1), 16, 10) & 3) | 8), SUBSTR(h, 18, 15)));
+END //
+
+-- Inserts @rows rows in transactions of @batch rows; v7 = 0 fills the VARCHAR table, 1 the BINARY one.
+CREATE PROCEDURE bench_fill(IN v7 BOOLEAN, IN total INT, IN batch INT, IN users INT)
+BEGIN
+  DECLARE i INT DEFAULT 0;
+  DECLARE u INT;
+  DECLARE now6 DATETIME(6);
+
+  DROP TEMPORARY TABLE IF EXISTS bench_users;
+  CREATE TEMPORARY TABLE bench_users (n INT PRIMARY KEY, v4 VARCHAR(36), v7 BINARY(16));
+  SET u = 0;
+  WHILE u < users DO
+    INSERT INTO bench_users VALUES (u, bench_uuid_v4(), bench_uuid_v7());
+    SET u = u + 1;
+  END WHILE;
+
+  START TRANSACTION;
+  WHILE i < total DO
+    SET now6 = NOW(6);
+    IF v7 THEN
+      INSERT INTO bench_items_v7 (id, created_at, name, updated_at, user_id)
+      SELECT bench_uuid_v7(), now6, CONCAT('item ', i), now6, b.v7 FROM bench_users b WHERE b.n = i % users;
+    ELSE
+      INSERT INTO bench_items_v4 (id, created_at, name, updated_at, user_id)
+      SELECT bench_uuid_v4(), now6, CONCAT('item ', i), now6, b.v4 FROM bench_users b WHERE b.n = i % users;
+    END IF;
+    SET i = i + 1;
+    IF i % batch = 0 THEN
+      COMMIT;
+      START TRANSACTION;
+    END IF;
+  END WHILE;
+  COMMIT;
+END //
+
+DELIMITER ;
+
+SET @start = NOW(6);
+CALL bench_fill(FALSE, @rows, @batch, @users);
+SET @v4_seconds = TIMESTAMPDIFF(MICROSECOND, @start, NOW(6)) / 1e6;
+
+SET @start = NOW(6);
+CALL bench_fill(TRUE, @rows, @batch, @users);
+SET @v7_seconds = TIMESTAMPDIFF(MICROSECOND, @start, NOW(6)) / 1e6;
+
+ANALYZE TABLE bench_items_v4, bench_items_v7;
+
+SELECT 'uuidv4 varchar(36)' AS key_type, @rows AS `rows`, ROUND(@v4_seconds, 2) AS seconds,
+       ROUND(@rows / @v4_seconds) AS rows_per_second
+UNION ALL
+SELECT 'uuidv7 binary(16)', @rows, ROUND(@v7_seconds, 2), ROUND(@rows / @v7_seconds);
+
+SELECT table_name, index_name,
+       ROUND(stat_value * @@innodb_page_size / 1024 / 1024, 2) AS size_mb
+FROM mysql.innodb_index_stats
+WHERE database_name = DATABASE()
+  AND table_name IN ('bench_items_v4', 'bench_items_v7')
+  AND stat_name = 'size'
+ORDER BY table_name, index_name;
+
+SELECT table_name, index_name,
+       ROUND(stat_value * @@innodb_page_size / 1024 / 1024, 2) AS leaf_mb
+FROM mysql.innodb_index_stats
+WHERE database_name = DATABASE()
+  AND table_name IN ('bench_items_v4', 'bench_items_v7')
+  AND stat_name = 'n_leaf_pages'
+ORDER BY table_name, index_name;
+
+DROP PROCEDURE bench_fill;
+DROP FUNCTION bench_uuid_v4;
+DROP FUNCTION bench_uuid_v7;
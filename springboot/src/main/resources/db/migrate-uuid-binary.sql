@@ -0,0 +1,59 @@
+-- One-off migration from VARCHAR(36) UUID keys to BINARY(16) (MySQL 8+).
+--
+-- Run once against an existing schema with the application stopped; fresh databases are created
+-- with BINARY(16) keys by Hibernate and do not need it. Existing ids keep their value, so issued
+-- access and refresh tokens stay valid; only rows created afterwards get time-ordered UUIDv7 ids.
+--
+-- The tables are rebuilt rather than altered in place because MySQL refuses to change the type
+-- of a column that takes part in a foreign key.
+
+CREATE TABLE users_bin (
+  id BINARY(16) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE items_bin (
+  id BINARY(16) NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  user_id BINARY(16) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_items_user FOREIGN KEY (user_id) REFERENCES users_bin (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_refresh_tokens_bin (
+  user_id BINARY(16) NOT NULL,
+  token VARCHAR(512) NOT NULL,
+  CONSTRAINT fk_user_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users_bin (id)
+) ENGINE=InnoDB;
+
+INSERT INTO users_bin (id, created_at, email, password, updated_at)
+SELECT UUID_TO_BIN(id), created_at, email, password, updated_at FROM users;
+
+INSERT INTO items_bin (id, created_at, name, updated_at, user_id)
+SELECT UUID_TO_BIN(id), created_at, name, updated_at, UUID_TO_BIN(user_id) FROM items;
+
+INSERT INTO user_refresh_tokens_bin (user_id, token)
+SELECT UUID_TO_BIN(user_id), token FROM user_refresh_tokens;
+
+DROP TABLE user_refresh_tokens;
+DROP TABLE items;
+DROP TABLE users;
+
+RENAME TABLE
+  users_bin TO users,
+  items_bin TO items,
+  user_refresh_tokens_bin TO user_refresh_tokens;
+
+-- Index footprint before/after (run before the migration and again afterwards):
+--
+-- SELECT table_name, index_name, ROUND(stat_value * @@innodb_page_size / 1024 / 1024, 2) AS size_mb
+-- FROM mysql.innodb_index_stats
+-- WHERE database_name = DATABASE() AND stat_name = 'size'
+-- ORDER BY table_name, index_name;
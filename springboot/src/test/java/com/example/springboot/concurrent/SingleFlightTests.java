@@ -0,0 +1,114 @@
+package com.example.springboot.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void concurrentCallsShareOneExecution() throws Exception {
+    SingleFlight<String, Object> flight = new SingleFlight<>("test", Duration.ZERO, registry);
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<Object> leader = executor.submit(() -> flight.execute("key", () -> {
+        executions.incrementAndGet();
+        started.countDown();
+        await(release);
+        return new Object();
+      }));
+      started.await();
+
+      List<Future<Object>> followers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        followers.add(executor.submit(() -> flight.execute("key", () -> {
+          executions.incrementAndGet();
+          return new Object();
+        })));
+      }
+      while (registry.counter("app.singleflight.coalesced", "operation", "test").count() < 3) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      Object result = leader.get(5, TimeUnit.SECONDS);
+      for (Future<Object> follower : followers) {
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, executions.get());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    flight.execute("key", Object::new);
+    assertEquals(5, registry.counter("app.singleflight.calls", "operation", "test").count());
+  }
+
+  @Test
+  void retainsResultsForGraceWindowOnly() throws InterruptedException {
+    SingleFlight<String, Object> flight = new SingleFlight<>("test", Duration.ofMillis(100), registry);
+
+    Object first = flight.execute("key", Object::new);
+    assertSame(first, flight.execute("key", Object::new));
+
+    Thread.sleep(150);
+    Object afterGrace = flight.execute("key", Object::new);
+    assertNotSame(first, afterGrace);
+
+    flight.forget("key");
+    assertNotSame(afterGrace, flight.execute("key", Object::new));
+  }
+
+  @Test
+  void forgetIfDropsRetainedResultsByValue() {
+    SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+    flight.execute("old", () -> "rotated");
+    flight.execute("other", () -> "kept");
+
+    flight.forget("rotated");
+    assertEquals("rotated", flight.execute("old", () -> "fresh"), "forget only drops entries by key");
+
+    flight.forgetIf("rotated"::equals);
+
+    assertEquals("fresh", flight.execute("old", () -> "fresh"));
+    assertEquals("kept", flight.execute("other", () -> "ignored"));
+  }
+
+  @Test
+  void failuresAreNotRetained() {
+    SingleFlight<String, Object> flight = new SingleFlight<>("test", Duration.ofSeconds(10), registry);
+
+    assertThrows(IllegalStateException.class, () -> flight.execute("key", () -> {
+      throw new IllegalStateException("boom");
+    }));
+    Object value = new Object();
+    assertSame(value, flight.execute("key", () -> value));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
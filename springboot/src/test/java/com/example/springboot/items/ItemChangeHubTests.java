@@ -0,0 +1,271 @@
+package com.example.springboot.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.items.dto.ItemResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ItemChangeHubTests {
+  private static final Duration HEARTBEAT = Duration.ofMillis(50);
+
+  private final List<ItemChangeHub> hubs = new ArrayList<>();
+
+  @AfterEach
+  void shutdown() {
+    hubs.forEach(ItemChangeHub::destroy);
+  }
+
+  @Test
+  void fansOutToEverySubscriberOfTheSameUserOnly() throws InterruptedException {
+    ItemChangeHub hub = hub(8, 8, Duration.ofMinutes(5));
+    RecordingEmitter first = subscribe(hub, "alice", null);
+    RecordingEmitter second = subscribe(hub, "alice", null);
+    RecordingEmitter other = subscribe(hub, "bob", null);
+
+    hub.publish("alice", "created", new ItemResponse("item-1", "first"));
+
+    Frame a = first.nextEvent();
+    Frame b = second.nextEvent();
+    assertEquals("created", a.event());
+    assertEquals("item-1", a.item().getId());
+    assertEquals(a.id(), b.id());
+    assertEquals("item-1", b.item().getId());
+    assertNull(other.nextEvent(200), "events must not leak to other users");
+  }
+
+  @Test
+  void replaysEventsAfterLastEventId() throws InterruptedException {
+    ItemChangeHub hub = hub(8, 8, Duration.ofMinutes(5));
+    RecordingEmitter live = subscribe(hub, "alice", null);
+    for (int i = 1; i <= 3; i++) {
+      hub.publish("alice", "created", new ItemResponse("item-" + i, "item"));
+    }
+    String firstId = live.nextEvent().id();
+
+    RecordingEmitter resumed = subscribe(hub, "alice", firstId);
+
+    assertEquals("item-2", resumed.nextEvent().item().getId());
+    assertEquals("item-3", resumed.nextEvent().item().getId());
+    assertNull(resumed.nextEvent(200));
+  }
+
+  @Test
+  void resetsOnForeignOrTooOldId() throws InterruptedException {
+    ItemChangeHub hub = hub(4, 8, Duration.ofMinutes(5));
+    RecordingEmitter live = subscribe(hub, "alice", null);
+    for (int i = 1; i <= 6; i++) {
+      hub.publish("alice", "created", new ItemResponse("item-" + i, "item"));
+    }
+    String firstId = live.nextEvent().id();
+
+    assertEquals("reset", subscribe(hub, "alice", firstId).nextEvent().event());
+    assertEquals("reset", subscribe(hub, "alice", "other-1").nextEvent().event());
+    assertEquals("reset", subscribe(hub, "alice", "garbage").nextEvent().event());
+  }
+
+  @Test
+  void resetsWhenChannelWasRecreatedSinceLastEventId() throws InterruptedException {
+    ItemChangeHub hub = hub(8, 8, Duration.ofMillis(50));
+    RecordingEmitter first = subscribe(hub, "alice", null);
+    hub.publish("alice", "created", new ItemResponse("item-1", "item"));
+    String staleId = first.nextEvent().id();
+
+    first.disconnect();
+    Thread.sleep(HEARTBEAT.toMillis() * 6);
+
+    subscribe(hub, "alice", null);
+    for (int i = 2; i <= 4; i++) {
+      hub.publish("alice", "created", new ItemResponse("item-" + i, "item"));
+    }
+
+    assertEquals("reset", subscribe(hub, "alice", staleId).nextEvent().event());
+  }
+
+  @Test
+  void disconnectsSlowConsumerOnceItsQueueFills() throws InterruptedException {
+    ItemChangeHub hub = hub(8, 2, Duration.ofMinutes(5));
+    RecordingEmitter slow = subscribe(hub, "alice", null);
+    RecordingEmitter fast = subscribe(hub, "alice", null);
+    slow.block();
+
+    try {
+      for (int i = 1; i <= 4; i++) {
+        hub.publish("alice", "created", new ItemResponse("item-" + i, "item"));
+        assertEquals("item-" + i, fast.nextEvent().item().getId());
+      }
+    } finally {
+      slow.unblock();
+    }
+
+    assertTrue(slow.awaitCompleted(), "slow consumer should be disconnected");
+    assertTrue(slow.frames.size() < 4, "slow consumer must not receive the overflowed events");
+    assertFalse(fast.completed, "consumers that keep up stay connected");
+  }
+
+  @Test
+  void abortsStalledSendsSoOtherStreamsKeepFlowing() throws InterruptedException {
+    ItemChangeHub hub = hub(8, 8, Duration.ofMinutes(5), Duration.ofMillis(200));
+    List<RecordingEmitter> stalled = new ArrayList<>();
+    for (String user : List.of("alice", "bob", "dave")) {
+      RecordingEmitter emitter = subscribe(hub, user, null);
+      emitter.block();
+      hub.publish(user, "created", new ItemResponse(user + "-item", "item"));
+      stalled.add(emitter);
+    }
+    RecordingEmitter carol = subscribe(hub, "carol", null);
+
+    hub.publish("carol", "created", new ItemResponse("carol-item", "item"));
+
+    assertEquals("carol-item", carol.nextEvent().item().getId());
+    assertNotNull(carol.nextHeartbeat(), "heartbeats keep running while sends are stalled");
+    for (RecordingEmitter emitter : stalled) {
+      assertTrue(emitter.awaitCompleted(), "stalled stream should be aborted");
+      assertInstanceOf(TimeoutException.class, emitter.failure);
+    }
+    assertFalse(carol.completed);
+  }
+
+  private ItemChangeHub hub(int replaySize, int bufferSize, Duration retention) {
+    return hub(replaySize, bufferSize, retention, Duration.ofMinutes(1));
+  }
+
+  private ItemChangeHub hub(int replaySize, int bufferSize, Duration retention, Duration sendTimeout) {
+    ItemChangeHub hub = new ItemChangeHub(
+        replaySize, bufferSize, HEARTBEAT, Duration.ofMinutes(1), retention, sendTimeout, 2) {
+      @Override
+      SseEmitter createEmitter(long timeoutMillis) {
+        return new RecordingEmitter();
+      }
+    };
+    hubs.add(hub);
+    return hub;
+  }
+
+  private static RecordingEmitter subscribe(ItemChangeHub hub, String userId, String lastEventId) {
+    return (RecordingEmitter) hub.subscribe(userId, lastEventId);
+  }
+
+  private record Frame(String id, String event, ItemResponse item) {}
+
+  private static final class RecordingEmitter extends SseEmitter {
+    private final BlockingQueue<Frame> frames = new LinkedBlockingQueue<>();
+    private final List<Runnable> completionCallbacks = new ArrayList<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile CountDownLatch gate;
+    private volatile boolean completed;
+    private volatile Throwable failure;
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      CountDownLatch current = gate;
+      if (current != null) {
+        try {
+          current.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+
+      String id = null;
+      String event = null;
+      ItemResponse item = null;
+      for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+        if (part.getData() instanceof ItemResponse response) {
+          item = response;
+          continue;
+        }
+        for (String line : part.getData().toString().split("\n")) {
+          if (line.startsWith("id:")) {
+            id = line.substring(3);
+          } else if (line.startsWith("event:")) {
+            event = line.substring(6);
+          }
+        }
+      }
+      frames.add(new Frame(id, event, item));
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+      done.countDown();
+    }
+
+    @Override
+    public void completeWithError(Throwable ex) {
+      failure = ex;
+      complete();
+    }
+
+    @Override
+    public void onCompletion(Runnable callback) {
+      completionCallbacks.add(callback);
+    }
+
+    void disconnect() {
+      completed = true;
+      completionCallbacks.forEach(Runnable::run);
+    }
+
+    void block() {
+      gate = new CountDownLatch(1);
+    }
+
+    void unblock() {
+      CountDownLatch current = gate;
+      gate = null;
+      if (current != null) {
+        current.countDown();
+      }
+    }
+
+    boolean awaitCompleted() throws InterruptedException {
+      return done.await(2, TimeUnit.SECONDS);
+    }
+
+    Frame nextHeartbeat() throws InterruptedException {
+      long deadline = System.currentTimeMillis() + 2_000;
+      while (true) {
+        long remaining = deadline - System.currentTimeMillis();
+        Frame frame = frames.poll(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+        if (frame == null || frame.event() == null) {
+          return frame;
+        }
+      }
+    }
+
+    Frame nextEvent() throws InterruptedException {
+      Frame frame = nextEvent(2_000);
+      assertNotNull(frame, "expected an event");
+      return frame;
+    }
+
+    Frame nextEvent(long timeoutMillis) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + timeoutMillis;
+      while (true) {
+        long remaining = deadline - System.currentTimeMillis();
+        Frame frame = frames.poll(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+        if (frame == null || frame.event() != null) {
+          return frame;
+        }
+      }
+    }
+  }
+}
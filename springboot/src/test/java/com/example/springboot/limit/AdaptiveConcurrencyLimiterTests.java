@@ -0,0 +1,146 @@
+package com.example.springboot.limit;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTests {
+  private static final int POOL_SIZE = 10;
+  private static final int CLIENTS = POOL_SIZE * 10;
+  private static final long SERVICE_MILLIS = 5;
+  private static final long RUN_MILLIS = 3_000;
+
+  @Test
+  void rejectsOnceLimitReached() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5, 1);
+
+    AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+    AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNull(limiter.tryAcquire());
+
+    first.ignore();
+    assertNotNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void fastOutliersDoNotBecomeTheBaseline() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5, 4);
+
+    limiter.onSample(10_000, 15);
+    for (int i = 1; i <= 3_000; i++) {
+      limiter.onSample(i % 50 == 0 ? 20_000 : 3_000_000, 15);
+    }
+
+    assertTrue(limiter.getLimit() >= 20,
+        () -> "healthy load must not be throttled by a few fast samples, limit was " + limiter.getLimit());
+  }
+
+  @Test
+  void shrinksLimitOnceLatencyRises() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 200, 1.5, 4);
+    for (int i = 0; i < 600; i++) {
+      limiter.onSample(3_000_000, 30);
+    }
+    int healthy = limiter.getLimit();
+
+    for (int i = 0; i < 50; i++) {
+      limiter.onSample(12_000_000, healthy);
+    }
+
+    assertTrue(limiter.getLimit() < healthy / 2,
+        () -> "limit should back off from " + healthy + " when latency quadruples, was " + limiter.getLimit());
+  }
+
+  @Test
+  void adoptsPersistentlyHigherLatencyAsNewBaseline() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 200, 1.5, 4);
+    for (int i = 0; i < 600; i++) {
+      limiter.onSample(3_000_000, 30);
+    }
+
+    for (int i = 0; i < 3_000; i++) {
+      limiter.onSample(12_000_000, limiter.getLimit());
+    }
+
+    assertTrue(limiter.getLimit() > 20,
+        () -> "limit should recover once the slower latency is the norm, was " + limiter.getLimit());
+  }
+
+  @Test
+  @Tag("load")
+  void keepsTailLatencyStableUnderTenfoldOverload() throws InterruptedException {
+    Result unlimited = runLoad(null);
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 1.5, 4);
+    Result limited = runLoad(limiter);
+
+    assertTrue(limited.rejected() > 0, "overload should be shed");
+    assertTrue(limiter.getLimit() < CLIENTS / 2,
+        () -> "limit should settle near pool size, was " + limiter.getLimit());
+    assertTrue(limited.p99Millis() * 2 < unlimited.p99Millis(),
+        () -> "limited p99 " + limited.p99Millis() + "ms should stay well below unlimited p99 "
+            + unlimited.p99Millis() + "ms");
+  }
+
+  private Result runLoad(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+    Semaphore pool = new Semaphore(POOL_SIZE, true);
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger rejected = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(CLIENTS);
+    long deadline = System.currentTimeMillis() + RUN_MILLIS;
+    long warmupEnd = System.currentTimeMillis() + RUN_MILLIS / 3;
+
+    for (int i = 0; i < CLIENTS; i++) {
+      Thread client = new Thread(() -> {
+        try {
+          while (System.currentTimeMillis() < deadline) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter != null ? limiter.tryAcquire() : null;
+            if (limiter != null && permit == null) {
+              rejected.incrementAndGet();
+              Thread.sleep(1);
+              continue;
+            }
+
+            long start = System.nanoTime();
+            pool.acquire();
+            try {
+              Thread.sleep(SERVICE_MILLIS);
+            } finally {
+              pool.release();
+            }
+            if (permit != null) {
+              permit.release();
+            }
+            if (System.currentTimeMillis() > warmupEnd) {
+              latencies.add((System.nanoTime() - start) / 1_000_000);
+            }
+          }
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+      client.setDaemon(true);
+      client.start();
+    }
+
+    done.await();
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    return new Result(p99, rejected.get());
+  }
+
+  private record Result(long p99Millis, int rejected) {}
+}
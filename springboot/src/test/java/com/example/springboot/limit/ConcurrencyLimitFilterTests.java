@@ -0,0 +1,115 @@
+package com.example.springboot.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTests {
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(registry, 1, 1, 10, 1.5, 4);
+
+  @Test
+  void rejectsWithServiceUnavailableOncePartitionIsFull() throws Exception {
+    MockHttpServletResponse nested = new MockHttpServletResponse();
+    MockFilterChain holdsPermit = new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        assertEquals(1.0, gauge("app.concurrency.in-flight", "items"));
+        filter.doFilter(request("GET", "/api/items"), nested, new MockFilterChain());
+      }
+    };
+
+    filter.doFilter(request("GET", "/api/items"), new MockHttpServletResponse(), holdsPermit);
+
+    assertEquals(503, nested.getStatus());
+    assertEquals("1", nested.getHeader("Retry-After"));
+    assertEquals(1.0, registry.counter("app.concurrency.rejected", "partition", "items").count());
+    assertEquals(0.0, gauge("app.concurrency.in-flight", "items"));
+  }
+
+  @Test
+  void mapsUrisToSeparatePartitions() throws Exception {
+    MockHttpServletResponse authNested = new MockHttpServletResponse();
+    MockFilterChain holdsItemsPermit = new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        filter.doFilter(request("POST", "/api/auth/login"), authNested, new MockFilterChain());
+        assertEquals(1.0, gauge("app.concurrency.in-flight", "items"));
+        assertEquals(0.0, gauge("app.concurrency.in-flight", "auth"));
+      }
+    };
+
+    filter.doFilter(request("DELETE", "/api/items/abc"), new MockHttpServletResponse(), holdsItemsPermit);
+
+    assertEquals(200, authNested.getStatus(), "auth partition is limited independently of items");
+  }
+
+  @Test
+  void leavesOtherPathsUnlimited() throws Exception {
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request("GET", "/api/itemsx"), new MockHttpServletResponse(), chain);
+    filter.doFilter(request("GET", "/other"), new MockHttpServletResponse(), new MockFilterChain());
+
+    assertEquals(1.0, gauge("app.concurrency.limit", "items"));
+    assertEquals(0.0, registry.counter("app.concurrency.rejected", "partition", "items").count());
+    assertNotNull(chain.getRequest(), "unpartitioned requests pass straight through");
+  }
+
+  @Test
+  void completedRequestsFeedTheLimiterButAsyncOnesDoNot() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      MockHttpServletRequest async = request("GET", "/api/items/events");
+      async.setAsyncSupported(true);
+      MockFilterChain startsAsync = new MockFilterChain() {
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+          request.startAsync();
+        }
+      };
+      filter.doFilter(async, new MockHttpServletResponse(), startsAsync);
+    }
+    assertEquals(0.0, gauge("app.concurrency.in-flight", "items"));
+    assertEquals(1.0, gauge("app.concurrency.limit", "items"), "async requests must not record a sample");
+
+    for (int i = 0; i < 2; i++) {
+      filter.doFilter(request("GET", "/api/items"), new MockHttpServletResponse(), new MockFilterChain());
+    }
+    assertTrue(gauge("app.concurrency.limit", "items") > 1.0, "completed requests record a sample");
+  }
+
+  @Test
+  void errorResponsesDoNotFeedTheLimiter() throws Exception {
+    MockFilterChain unauthorized = new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest request, ServletResponse response) {
+        ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+      }
+    };
+    for (int i = 0; i < 2; i++) {
+      filter.doFilter(request("GET", "/api/items"), new MockHttpServletResponse(), unauthorized);
+    }
+
+    assertEquals(0.0, gauge("app.concurrency.in-flight", "items"));
+    assertEquals(1.0, gauge("app.concurrency.limit", "items"), "error responses must not record a sample");
+  }
+
+  private double gauge(String name, String partition) {
+    return registry.get(name).tag("partition", partition).gauge().value();
+  }
+
+  private static MockHttpServletRequest request(String method, String uri) {
+    return new MockHttpServletRequest(method, uri);
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.springboot.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidsTests {
+
+  @Test
+  void generatesVersion7WithCurrentTimestamp() {
+    long before = System.currentTimeMillis();
+    UUID id = Uuids.v7();
+    long after = System.currentTimeMillis();
+
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+    long millis = id.getMostSignificantBits() >>> 16;
+    assertTrue(millis >= before && millis <= after + 1);
+  }
+
+  @Test
+  void idsAreStrictlyIncreasingInBinaryOrder() {
+    UUID previous = Uuids.v7();
+    for (int i = 0; i < 100_000; i++) {
+      UUID next = Uuids.v7();
+      assertTrue(compareUnsigned(previous, next) < 0, previous + " should sort before " + next);
+      previous = next;
+    }
+  }
+
+  private static int compareUnsigned(UUID a, UUID b) {
+    int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+  }
+}
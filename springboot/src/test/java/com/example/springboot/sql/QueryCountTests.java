@@ -0,0 +1,139 @@
+package com.example.springboot.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.springboot.auth.AuthService;
+import com.example.springboot.auth.JwtService;
+import com.example.springboot.auth.dto.LoginRequest;
+import com.example.springboot.auth.dto.RegisterRequest;
+import com.example.springboot.items.ItemsService;
+import com.example.springboot.items.dto.CreateItemRequest;
+import com.example.springboot.items.dto.ItemResponse;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:query-counts;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class QueryCountTests {
+  private static final String PASSWORD = "Passw0rd!";
+
+  @Autowired
+  private AuthService authService;
+
+  @Autowired
+  private ItemsService itemsService;
+
+  @Autowired
+  private JwtService jwtService;
+
+  private String email;
+  private String userId;
+  private AuthService.TokenPair tokens;
+
+  @BeforeEach
+  void registerUser() {
+    email = UUID.randomUUID() + "@example.com";
+    RegisterRequest request = new RegisterRequest();
+    request.setEmail(email);
+    request.setPassword(PASSWORD);
+    tokens = authService.register(request);
+    userId = jwtService.validateAccessTokenAndGetUserId(tokens.accessToken());
+  }
+
+  @Test
+  void register() {
+    RegisterRequest request = new RegisterRequest();
+    request.setEmail(UUID.randomUUID() + "@example.com");
+    request.setPassword(PASSWORD);
+
+    assertStatements(5, SqlStatistics.capture(() -> authService.register(request)));
+  }
+
+  @Test
+  void login() {
+    LoginRequest request = new LoginRequest();
+    request.setEmail(email);
+    request.setPassword(PASSWORD);
+
+    assertStatements(6, SqlStatistics.capture(() -> authService.login(request)));
+  }
+
+  @Test
+  void refresh() {
+    assertStatements(4, SqlStatistics.capture(() -> authService.refresh(tokens.refreshToken())));
+  }
+
+  @Test
+  void refreshWithinGraceWindowReusesRotatedPair() {
+    AuthService.TokenPair rotated = authService.refresh(tokens.refreshToken());
+
+    SqlStatistics statistics = SqlStatistics.capture(() ->
+        assertEquals(rotated, authService.refresh(tokens.refreshToken())));
+    assertStatements(0, statistics);
+  }
+
+  @Test
+  void logoutWithRotatedTokenEndsGraceWindowForPreviousToken() throws InterruptedException {
+    // Tokens carry a seconds-resolution issued-at; rotating within the same second would yield the
+    // same token and the retained entry would be dropped by its key alone.
+    Thread.sleep(1_000 - System.currentTimeMillis() % 1_000 + 10);
+    AuthService.TokenPair rotated = authService.refresh(tokens.refreshToken());
+    assertNotEquals(tokens.refreshToken(), rotated.refreshToken());
+
+    authService.logout(userId, rotated.refreshToken());
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> authService.refresh(tokens.refreshToken()));
+    assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+  }
+
+  @Test
+  void logout() {
+    assertStatements(3, SqlStatistics.capture(() -> authService.logout(userId, tokens.refreshToken())));
+  }
+
+  @Test
+  void createItem() {
+    CreateItemRequest request = new CreateItemRequest();
+    request.setName("item");
+
+    assertStatements(3, SqlStatistics.capture(() -> itemsService.create(request, userId)));
+  }
+
+  @Test
+  void findAllItems() {
+    CreateItemRequest request = new CreateItemRequest();
+    request.setName("item");
+    itemsService.create(request, userId);
+    itemsService.create(request, userId);
+
+    SqlStatistics statistics = SqlStatistics.capture(() -> itemsService.findAll(userId));
+    assertStatements(1, statistics);
+    assertEquals(2, statistics.getRows());
+  }
+
+  @Test
+  void removeItem() {
+    CreateItemRequest request = new CreateItemRequest();
+    request.setName("item");
+    ItemResponse item = itemsService.create(request, userId);
+
+    assertStatements(3, SqlStatistics.capture(() -> itemsService.remove(item.getId(), userId)));
+  }
+
+  private static void assertStatements(int expected, SqlStatistics statistics) {
+    assertEquals(expected, statistics.getStatements(), statistics::toString);
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.springboot.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SqlStatisticsFilterTests {
+  private final SqlStatisticsFilter filter = new SqlStatisticsFilter(10, true);
+
+  @Test
+  void streamsAsyncResponsesWrittenAfterTheFilterReturns() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/events");
+    request.addHeader("Accept", "*/*");
+    request.setAsyncSupported(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    ResponseCapturingChain startsAsync = new ResponseCapturingChain() {
+      @Override
+      public void doFilter(ServletRequest request, ServletResponse response) {
+        super.doFilter(request, response);
+        request.startAsync();
+      }
+    };
+
+    filter.doFilter(request, response, startsAsync);
+    startsAsync.response.getWriter().write("data: first\n\n");
+    startsAsync.response.flushBuffer();
+
+    assertEquals("data: first\n\n", response.getContentAsString());
+    assertNotNull(response.getHeader("Server-Timing"));
+  }
+
+  @Test
+  void addsHeaderBeforeBodyIsCommitted() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain writesBody = new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+        response.getWriter().write("[]");
+        response.flushBuffer();
+        assertNotNull(((HttpServletResponse) response).getHeader("Server-Timing"));
+      }
+    };
+
+    filter.doFilter(new MockHttpServletRequest("GET", "/api/items"), response, writesBody);
+
+    assertEquals("[]", response.getContentAsString());
+    assertTrue(response.getHeader("Server-Timing").startsWith("db;desc=\"0 queries, 0 rows\""));
+  }
+
+  @Test
+  void addsHeaderToUncommittedResponses() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(new MockHttpServletRequest("DELETE", "/api/items/abc"), response, new MockFilterChain());
+
+    assertNotNull(response.getHeader("Server-Timing"));
+  }
+
+  @Test
+  void leavesResponsesAloneWhenDisabled() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    new SqlStatisticsFilter(10, false).doFilter(new MockHttpServletRequest("GET", "/api/items"), response, chain);
+
+    assertNull(response.getHeader("Server-Timing"));
+    assertEquals(response, chain.getResponse());
+  }
+
+  private static class ResponseCapturingChain extends MockFilterChain {
+    private ServletResponse response;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response) {
+      this.response = response;
+    }
+  }
+}